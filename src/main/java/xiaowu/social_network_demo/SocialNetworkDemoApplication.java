@@ -2,8 +2,11 @@ package xiaowu.social_network_demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import xiaowu.social_network_demo.config.ChatRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ChatRuntimeHints.class)
 public class SocialNetworkDemoApplication {
 
     public static void main(String[] args) {
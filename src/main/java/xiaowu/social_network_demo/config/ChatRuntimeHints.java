@@ -0,0 +1,25 @@
+package xiaowu.social_network_demo.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+
+/**
+ * GraalVM原生镜像的反射提示
+ *
+ * 📖 ChatMessage 由各个编码器里的 ObjectMapper 直接序列化，不经过Spring MVC/WebFlux的消息转换器，
+ * AOT无法自动推断，需要在这里显式声明。
+ * Lombok的 ChatMessageBuilder 在编译期生成、只被直接调用（没有 @Jacksonized 或按builder反序列化），
+ * 运行时不需要任何反射提示。
+ */
+public class ChatRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson序列化：getter/setter、字段与 @JsonFormat 注解，以及嵌套的 MessageType 枚举
+        bindingRegistrar.registerReflectionHints(hints.reflection(), ChatMessage.class);
+    }
+}
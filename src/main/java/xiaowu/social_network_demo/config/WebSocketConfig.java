@@ -1,6 +1,7 @@
 package xiaowu.social_network_demo.config;
 
 import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
@@ -8,30 +9,42 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 import xiaowu.social_network_demo.interceptor.ChatWebSocketHandler;
 import xiaowu.social_network_demo.interceptor.WebSocketInterceptor;
 
+/**
+ * WebSocket端点配置（Servlet / Tomcat 引擎）
+ *
+ * 📖 Reactor Netty 引擎的对应配置是 ReactiveWebSocketConfig（src/netty，-Pnetty 时编译），
+ * 两者共用这里的端点与Origin允许列表。
+ */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSocket
 @Data
 public class WebSocketConfig implements WebSocketConfigurer {
+
+    static final String CHAT_ENDPOINT = "/chat";
+
+    static final String[] ALLOWED_ORIGIN_PATTERNS = {
+            "http://localhost:*",
+            "http://127.0.0.1:*",
+            "http://192.168.*.*:*",  // 支持整个192.168网段
+            "http://10.*.*.*:*",     // 支持10网段
+            "http://172.16.*.*:*",   // 支持172.16网段
+            "https://localhost:*",
+            "https://127.0.0.1:*",
+            "https://192.168.*.*:*",
+            "https://10.*.*.*:*",
+            "https://172.16.*.*:*"
+    };
+
     private final ChatWebSocketHandler chatWebSocketHandler;
     private final WebSocketInterceptor webSocketInterceptor;
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry
                 // 注册WebSocket处理器到指定端点
-                .addHandler(chatWebSocketHandler, "/chat")
+                .addHandler(chatWebSocketHandler, CHAT_ENDPOINT)
                 // 添加拦截器（用于IP识别和连接前置处理）
                 .addInterceptors(webSocketInterceptor)
-                .setAllowedOriginPatterns(
-                        "http://localhost:*",
-                        "http://127.0.0.1:*",
-                        "http://192.168.*.*:*",  // 支持整个192.168网段
-                        "http://10.*.*.*:*",     // 支持10网段
-                        "http://172.16.*.*:*",   // 支持172.16网段
-                        "https://localhost:*",
-                        "https://127.0.0.1:*",
-                        "https://192.168.*.*:*",
-                        "https://10.*.*.*:*",
-                        "https://172.16.*.*:*"
-                );
+                .setAllowedOriginPatterns(ALLOWED_ORIGIN_PATTERNS);
     }
-}
\ No newline at end of file
+}
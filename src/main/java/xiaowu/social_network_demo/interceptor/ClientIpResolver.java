@@ -0,0 +1,36 @@
+package xiaowu.social_network_demo.interceptor;
+
+import java.util.function.Function;
+
+/**
+ * 客户端真实IP识别
+ *
+ * 📖 Servlet 与 WebFlux 两个引擎共用同一套代理头规则，
+ * 保证点对点消息（sendToIp）的路由键在两种引擎下一致。
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+    }
+
+    /**
+     * @param headerLookup 按名称读取请求头，不存在时返回null
+     * @param remoteAddress 连接的对端地址，没有代理头时使用
+     * @return 客户端IP
+     */
+    public static String resolve(Function<String, String> headerLookup, String remoteAddress) {
+        String xForwardedFor = headerLookup.apply("X-Forwarded-For");
+        if (isPresent(xForwardedFor)) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        String xRealIp = headerLookup.apply("X-Real-IP");
+        if (isPresent(xRealIp)) {
+            return xRealIp;
+        }
+        return remoteAddress;
+    }
+
+    private static boolean isPresent(String header) {
+        return header != null && !header.isEmpty() && !"unknown".equalsIgnoreCase(header);
+    }
+}
@@ -1,6 +1,7 @@
 package xiaowu.social_network_demo.interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
@@ -11,6 +12,7 @@ import org.springframework.web.socket.server.HandshakeInterceptor;
 import java.util.Map;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebSocketInterceptor implements HandshakeInterceptor {
     @Override
     public boolean beforeHandshake(ServerHttpRequest request,
@@ -31,16 +33,7 @@ public class WebSocketInterceptor implements HandshakeInterceptor {
         if(request instanceof ServletServerHttpRequest)
         {
             HttpServletRequest httpServletRequest = ((ServletServerHttpRequest)request).getServletRequest();
-            String xForwarderFor = httpServletRequest.getHeader("X-Forwarded-For");
-            if (xForwarderFor != null && !xForwarderFor.isEmpty() && !"unknow".equalsIgnoreCase(xForwarderFor))
-            {
-                return xForwarderFor.split(",")[0].trim();
-            }
-            String xRealIp = httpServletRequest.getHeader("X-Real-IP");
-            if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-                return xRealIp;
-            }
-            return httpServletRequest.getRemoteAddr();
+            return ClientIpResolver.resolve(httpServletRequest::getHeader, httpServletRequest.getRemoteAddr());
         }
         return request.getRemoteAddress().getAddress().getHostAddress();
     }
@@ -0,0 +1,219 @@
+package xiaowu.social_network_demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+import xiaowu.social_network_demo.transport.ChatSession;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 聊天会话生命周期服务
+ *
+ * 📖 连接建立、消息接收、异常与断开的业务处理都在这里，
+ * Servlet 和 WebFlux 两个 WebSocket 处理器只负责把各自的回调翻译成这几个方法。
+ */
+@Service
+public class ChatSessionService {
+
+    private final ConnectionManager connectionManager;
+    private final MessageRouter messageRouter;
+
+    // Jackson对象映射器，用于JSON反序列化
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ChatSessionService(ConnectionManager connectionManager, MessageRouter messageRouter) {
+        this.connectionManager = connectionManager;
+        this.messageRouter = messageRouter;
+    }
+
+    /**
+     * 连接建立
+     *
+     * 📖 这是用户"进入聊天室"的关键时刻
+     */
+    public void onOpen(ChatSession session) {
+        String clientIp = session.getClientIp();
+        String sessionId = session.getId();
+
+        System.out.println("🎉 新用户连接 - SessionId: " + sessionId + ", IP: " + clientIp);
+
+        // 将新连接注册到连接管理器
+        connectionManager.addConnection(sessionId, session, clientIp);
+
+        // 发送欢迎消息给刚连接的用户
+        sendWelcomeMessage(session, clientIp);
+
+        // 通知其他用户有新人加入
+        broadcastUserJoinMessage(clientIp, sessionId);
+    }
+
+    /**
+     * 处理客户端文本消息
+     *
+     * 📖 这是消息流转的核心枢纽
+     */
+    public void onMessage(ChatSession session, String payload) {
+        String sessionId = session.getId();
+        String clientIp = session.getClientIp();
+
+        System.out.println("📨 收到消息 - From: " + clientIp + " (" + sessionId + "), Content: " + payload);
+
+        try {
+            // 解析消息内容
+            ChatMessage chatMessage = parseMessage(payload, clientIp, sessionId);
+
+            // 路由消息到目标用户
+            messageRouter.routeMessage(chatMessage);
+
+        } catch (Exception e) {
+            System.err.println("❌ 消息处理异常: " + e.getMessage());
+            sendErrorMessage(session, "消息处理失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 连接传输异常
+     */
+    public void onError(ChatSession session, Throwable exception) {
+        System.err.println("🚨 传输异常 - SessionId: " + session.getId() + ", IP: " + session.getClientIp() +
+                ", Error: " + exception.getMessage());
+
+        // 清理连接
+        connectionManager.removeConnection(session.getId());
+    }
+
+    /**
+     * 连接关闭
+     *
+     * 📖 用户"离开聊天室"的清理工作
+     */
+    public void onClose(ChatSession session, String reason) {
+        String sessionId = session.getId();
+        String clientIp = session.getClientIp();
+
+        System.out.println("👋 用户断开连接 - SessionId: " + sessionId + ", IP: " + clientIp +
+                ", Reason: " + reason);
+
+        // 从连接管理器中移除连接
+        connectionManager.removeConnection(sessionId);
+
+        // 通知其他用户有人离开
+        broadcastUserLeaveMessage(clientIp, sessionId);
+    }
+
+    // ======================== 私有辅助方法 ========================
+
+    /**
+     * 解析客户端发送的消息
+     *
+     * 📖 将原始文本转换为结构化的聊天消息对象
+     */
+    private ChatMessage parseMessage(String payload, String fromIp, String sessionId) throws IOException {
+        try {
+            // 尝试解析为JSON格式的消息
+            Map<String, Object> messageMap = objectMapper.readValue(payload, Map.class);
+
+            return ChatMessage.builder()
+                    .messageId(generateMessageId())
+                    .fromIp(fromIp)
+                    .fromSessionId(sessionId)
+                    .messageType(getMessageType(messageMap))
+                    .content(getMessageContent(messageMap))
+                    .targetIp(getTargetIp(messageMap))
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+
+        } catch (IOException e) {
+            // 如果不是JSON格式，当作纯文本消息处理
+            return ChatMessage.builder()
+                    .messageId(generateMessageId())
+                    .fromIp(fromIp)
+                    .fromSessionId(sessionId)
+                    .messageType(ChatMessage.MessageType.TEXT)
+                    .content(payload)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+    }
+
+    /**
+     * 发送欢迎消息给新连接的用户
+     */
+    private void sendWelcomeMessage(ChatSession session, String clientIp) {
+        ChatMessage welcomeMessage = ChatMessage.builder()
+                .messageId(generateMessageId())
+                .messageType(ChatMessage.MessageType.SYSTEM)
+                .content("欢迎进入聊天室！您的IP地址是: " + clientIp)
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        messageRouter.sendToSession(session, welcomeMessage);
+    }
+
+    /**
+     * 广播用户加入消息
+     */
+    private void broadcastUserJoinMessage(String joinedIp, String excludeSessionId) {
+        ChatMessage joinMessage = ChatMessage.builder()
+                .messageId(generateMessageId())
+                .messageType(ChatMessage.MessageType.SYSTEM)
+                .content("用户 " + joinedIp + " 加入了聊天室")
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        messageRouter.broadcastMessage(joinMessage, excludeSessionId);
+    }
+
+    /**
+     * 广播用户离开消息
+     */
+    private void broadcastUserLeaveMessage(String leftIp, String excludeSessionId) {
+        ChatMessage leaveMessage = ChatMessage.builder()
+                .messageId(generateMessageId())
+                .messageType(ChatMessage.MessageType.SYSTEM)
+                .content("用户 " + leftIp + " 离开了聊天室")
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        messageRouter.broadcastMessage(leaveMessage, excludeSessionId);
+    }
+
+    /**
+     * 发送错误消息给客户端
+     */
+    private void sendErrorMessage(ChatSession session, String errorMsg) {
+        ChatMessage errorMessage = ChatMessage.builder()
+                .messageId(generateMessageId())
+                .messageType(ChatMessage.MessageType.ERROR)
+                .content(errorMsg)
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        messageRouter.sendToSession(session, errorMessage);
+    }
+
+    // ======================== 工具方法 ========================
+
+    private String generateMessageId() {
+        return "msg_" + System.currentTimeMillis() + "_" + Thread.currentThread().getId();
+    }
+
+    private ChatMessage.MessageType getMessageType(Map<String, Object> messageMap) {
+        String type = (String) messageMap.getOrDefault("type", "TEXT");
+        try {
+            return ChatMessage.MessageType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ChatMessage.MessageType.TEXT;
+        }
+    }
+
+    private String getMessageContent(Map<String, Object> messageMap) {
+        return (String) messageMap.getOrDefault("content", "");
+    }
+
+    private String getTargetIp(Map<String, Object> messageMap) {
+        return (String) messageMap.get("targetIp");
+    }
+}
@@ -1,7 +1,7 @@
 package xiaowu.social_network_demo.service;
 
 import org.springframework.stereotype.Service;
-import org.springframework.web.socket.WebSocketSession;
+import xiaowu.social_network_demo.transport.ChatSession;
 
 import java.util.Collections;
 import java.util.Set;
@@ -12,14 +12,15 @@ import java.util.stream.Collectors;
  * WebSocket连接管理器
  *
  * 📖 负责维护所有活跃的WebSocket连接，是整个系统的"在线用户花名册"
+ * 只依赖 ChatSession 抽象，Tomcat 与 Reactor Netty 两种传输引擎共用。
  * 必须设计为线程安全的，因为连接和断开是高并发操作。
  */
 @Service
 public class ConnectionManager {
 
-    // 主存储：SessionId -> WebSocketSession
+    // 主存储：SessionId -> ChatSession
     // 提供了通过唯一ID快速查找会话的能力
-    private final ConcurrentHashMap<String, WebSocketSession> sessionMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ChatSession> sessionMap = new ConcurrentHashMap<>();
 
     // 辅助索引：IP -> Set<SessionId>
     // 允许我们快速找到一个IP地址下的所有会话，用于IP间对话
@@ -32,10 +33,10 @@ public class ConnectionManager {
     /**
      * 添加一个新的连接
      * @param sessionId 会话ID
-     * @param session WebSocket会话对象
+     * @param session 聊天会话对象
      * @param clientIp 客户端IP
      */
-    public void addConnection(String sessionId, WebSocketSession session, String clientIp) {
+    public void addConnection(String sessionId, ChatSession session, String clientIp) {
         // 原子性地更新所有映射关系
         synchronized (this) {
             sessionMap.put(sessionId, session);
@@ -75,18 +76,18 @@ public class ConnectionManager {
     /**
      * 根据SessionId获取会话
      * @param sessionId 会话ID
-     * @return WebSocketSession, or null if not found
+     * @return ChatSession, or null if not found
      */
-    public WebSocketSession getSession(String sessionId) {
+    public ChatSession getSession(String sessionId) {
         return sessionMap.get(sessionId);
     }
 
     /**
      * 根据IP地址获取所有会话
      * @param ip 客户端IP
-     * @return 该IP下的所有WebSocketSession集合
+     * @return 该IP下的所有ChatSession集合
      */
-    public Set<WebSocketSession> getSessionsByIp(String ip) {
+    public Set<ChatSession> getSessionsByIp(String ip) {
         Set<String> sessionIds = ipToSessionIdsMap.getOrDefault(ip, Collections.emptySet());
         return sessionIds.stream()
                 .map(sessionMap::get)
@@ -96,9 +97,9 @@ public class ConnectionManager {
 
     /**
      * 获取所有活跃的会话
-     * @return 所有WebSocketSession的集合
+     * @return 所有ChatSession的集合
      */
-    public Set<WebSocketSession> getAllSessions() {
+    public Set<ChatSession> getAllSessions() {
         return Set.copyOf(sessionMap.values());
     }
 }
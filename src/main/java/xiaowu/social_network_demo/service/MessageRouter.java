@@ -1,11 +1,10 @@
 package xiaowu.social_network_demo.service;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
 import xiaowu.social_network_demo.mdoel.ChatMessage;
+import xiaowu.social_network_demo.transport.ChatFrame;
+import xiaowu.social_network_demo.transport.ChatFrameEncoder;
+import xiaowu.social_network_demo.transport.ChatSession;
 
 import java.io.IOException;
 
@@ -14,6 +13,7 @@ import java.io.IOException;
  *
  * 📖 负责将消息路由到正确的目的地。
  * 它是业务逻辑和底层WebSocket连接之间的桥梁。
+ * 每条消息只编码一次，编码后的帧由所有目标会话共享。
  */
 @Service
 public class MessageRouter {
@@ -21,7 +21,9 @@ public class MessageRouter {
     @Autowired
     private ConnectionManager connectionManager;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 由当前传输引擎提供（Tomcat: TextMessage，Reactor Netty: 池化直接内存）
+    @Autowired
+    private ChatFrameEncoder frameEncoder;
 
     /**
      * 主路由方法
@@ -48,20 +50,22 @@ public class MessageRouter {
      * @param excludeSessionId 要排除的会话ID（通常是发送者自己）
      */
     public void broadcastMessage(ChatMessage message, String excludeSessionId) {
-        // 将消息对象序列化为JSON字符串
-        String messageJson = serializeMessage(message);
-        if (messageJson == null) return;
-
-        TextMessage textMessage = new TextMessage(messageJson);
+        // 将消息对象编码为出站帧
+        ChatFrame frame = encodeMessage(message);
+        if (frame == null) return;
 
         System.out.println("📢 广播消息: " + message.getContent());
 
-        connectionManager.getAllSessions().forEach(session -> {
-            // 排除发送者自己
-            if (!session.getId().equals(excludeSessionId)) {
-                sendMessage(session, textMessage);
-            }
-        });
+        try {
+            connectionManager.getAllSessions().forEach(session -> {
+                // 排除发送者自己
+                if (!session.getId().equals(excludeSessionId)) {
+                    sendMessage(session, frame);
+                }
+            });
+        } finally {
+            frame.release();
+        }
     }
 
     /**
@@ -71,32 +75,49 @@ public class MessageRouter {
      * @param message 聊天消息
      */
     public void sendToIp(String targetIp, ChatMessage message) {
-        String messageJson = serializeMessage(message);
-        if (messageJson == null) return;
-
-        TextMessage textMessage = new TextMessage(messageJson);
+        ChatFrame frame = encodeMessage(message);
+        if (frame == null) return;
 
         System.out.println("🎯 点对点消息: From " + message.getFromIp() + " -> To " + targetIp);
 
-        connectionManager.getSessionsByIp(targetIp).forEach(session -> {
-            sendMessage(session, textMessage);
-        });
+        try {
+            connectionManager.getSessionsByIp(targetIp).forEach(session -> {
+                sendMessage(session, frame);
+            });
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * 发送消息给单个会话（欢迎消息、错误提示等）
+     *
+     * @param session 目标会话
+     * @param message 聊天消息
+     */
+    public void sendToSession(ChatSession session, ChatMessage message) {
+        ChatFrame frame = encodeMessage(message);
+        if (frame == null) return;
+
+        try {
+            sendMessage(session, frame);
+        } finally {
+            frame.release();
+        }
     }
 
     /**
      * 核心发送逻辑
      *
      * @param session 目标会话
-     * @param message 已经封装好的TextMessage
+     * @param frame 已经编码好的出站帧
      */
-    private void sendMessage(WebSocketSession session, TextMessage message) {
+    private void sendMessage(ChatSession session, ChatFrame frame) {
         try {
             // 检查会话是否仍然打开
             if (session.isOpen()) {
-                // 同步发送消息。对于高吞吐量场景，可考虑使用异步发送或队列
-                synchronized(session) { // 对session加锁，防止多个线程同时写一个session
-                    session.sendMessage(message);
-                }
+                // 写并发控制由各引擎的会话实现负责
+                session.send(frame);
             }
         } catch (IOException e) {
             System.err.println("❌ 发送消息异常: " + e.getMessage() + " to session " + session.getId());
@@ -106,14 +127,14 @@ public class MessageRouter {
     }
 
     /**
-     * 将ChatMessage对象序列化为JSON字符串
+     * 将ChatMessage对象编码为出站帧
      * @param message 消息对象
-     * @return JSON字符串, or null if serialization fails
+     * @return 出站帧, or null if serialization fails
      */
-    private String serializeMessage(ChatMessage message) {
+    private ChatFrame encodeMessage(ChatMessage message) {
         try {
-            return objectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            return frameEncoder.encode(message);
+        } catch (IOException e) {
             System.err.println("❌ 消息序列化失败: " + e.getMessage());
             return null;
         }
@@ -0,0 +1,15 @@
+package xiaowu.social_network_demo.transport;
+
+/**
+ * 已编码的出站消息帧
+ *
+ * 📖 一条消息只编码一次，然后在广播时被所有目标会话共享。
+ * 发送方在扇出结束后必须调用 release()，把底层缓冲区归还给内存池。
+ */
+public interface ChatFrame {
+
+    /**
+     * 释放发送方持有的引用
+     */
+    void release();
+}
@@ -0,0 +1,21 @@
+package xiaowu.social_network_demo.transport;
+
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+
+import java.io.IOException;
+
+/**
+ * 出站帧编码器
+ *
+ * 📖 每个传输引擎提供一个实现，决定消息以何种形式（字符串 / 池化缓冲区）写到连接上。
+ */
+public interface ChatFrameEncoder {
+
+    /**
+     * 将聊天消息编码为可共享的出站帧
+     * @param message 聊天消息
+     * @return 出站帧，使用完毕后需调用 release()
+     * @throws IOException 序列化失败
+     */
+    ChatFrame encode(ChatMessage message) throws IOException;
+}
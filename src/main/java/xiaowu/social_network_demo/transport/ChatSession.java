@@ -0,0 +1,36 @@
+package xiaowu.social_network_demo.transport;
+
+import java.io.IOException;
+
+/**
+ * 与传输引擎无关的聊天会话
+ *
+ * 📖 ConnectionManager 和 MessageRouter 只面向这个接口工作，
+ * 因此 Tomcat（Servlet）和 Reactor Netty（WebFlux）两套引擎共享同一套连接与路由语义。
+ */
+public interface ChatSession {
+
+    /**
+     * 会话唯一标识
+     */
+    String getId();
+
+    /**
+     * 客户端IP（握手阶段识别）
+     */
+    String getClientIp();
+
+    /**
+     * 会话是否仍然打开
+     */
+    boolean isOpen();
+
+    /**
+     * 发送一个已编码的出站帧
+     *
+     * 📖 同一个帧会被发送给多个会话，实现方不得修改或释放传入的帧。
+     * @param frame 由当前引擎的 ChatFrameEncoder 编码的帧
+     * @throws IOException 发送失败或会话已不可写
+     */
+    void send(ChatFrame frame) throws IOException;
+}
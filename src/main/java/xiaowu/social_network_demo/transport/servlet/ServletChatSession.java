@@ -0,0 +1,45 @@
+package xiaowu.social_network_demo.transport.servlet;
+
+import org.springframework.web.socket.WebSocketSession;
+import xiaowu.social_network_demo.transport.ChatFrame;
+import xiaowu.social_network_demo.transport.ChatSession;
+
+import java.io.IOException;
+
+/**
+ * 基于 Servlet WebSocketSession 的聊天会话
+ *
+ * 📖 无状态包装，可以在每次回调中重新创建；写锁加在底层 WebSocketSession 上。
+ */
+public class ServletChatSession implements ChatSession {
+
+    private final WebSocketSession session;
+
+    public ServletChatSession(WebSocketSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public String getClientIp() {
+        // 由 WebSocketInterceptor 在握手阶段写入
+        return (String) session.getAttributes().get("clientIp");
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void send(ChatFrame frame) throws IOException {
+        // 同步发送消息。对session加锁，防止多个线程同时写一个session
+        synchronized (session) {
+            session.sendMessage(((TextChatFrame) frame).getMessage());
+        }
+    }
+}
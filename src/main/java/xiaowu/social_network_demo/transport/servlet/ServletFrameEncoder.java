@@ -0,0 +1,28 @@
+package xiaowu.social_network_demo.transport.servlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+import xiaowu.social_network_demo.transport.ChatFrame;
+import xiaowu.social_network_demo.transport.ChatFrameEncoder;
+
+import java.io.IOException;
+
+/**
+ * Servlet（Tomcat）引擎的编码器
+ *
+ * 📖 序列化为JSON字符串并包装成 TextMessage，广播时所有会话共享同一个实例。
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletFrameEncoder implements ChatFrameEncoder {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public ChatFrame encode(ChatMessage message) throws IOException {
+        return new TextChatFrame(new TextMessage(objectMapper.writeValueAsString(message)));
+    }
+}
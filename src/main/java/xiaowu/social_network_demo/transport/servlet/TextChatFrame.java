@@ -0,0 +1,25 @@
+package xiaowu.social_network_demo.transport.servlet;
+
+import org.springframework.web.socket.TextMessage;
+import xiaowu.social_network_demo.transport.ChatFrame;
+
+/**
+ * Servlet 引擎的出站帧：一个可被多个会话复用的 TextMessage
+ */
+public class TextChatFrame implements ChatFrame {
+
+    private final TextMessage message;
+
+    public TextChatFrame(TextMessage message) {
+        this.message = message;
+    }
+
+    public TextMessage getMessage() {
+        return message;
+    }
+
+    @Override
+    public void release() {
+        // 堆内字符串由GC回收，无需手动释放
+    }
+}
@@ -0,0 +1,122 @@
+package xiaowu.social_network_demo.transport.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+import xiaowu.social_network_demo.service.ConnectionManager;
+import xiaowu.social_network_demo.service.MessageRouter;
+import xiaowu.social_network_demo.transport.ChatFrameEncoder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveChatSessionTests {
+
+    private final PooledFrameEncoder encoder = new PooledFrameEncoder();
+
+    @Test
+    void broadcastReleasesSharedBufferOnceEveryCopyIsWrittenOrDiscarded() {
+        // 记录 MessageRouter 内部编码出的帧，以便检查引用计数
+        List<PooledChatFrame> frames = new ArrayList<>();
+        ChatFrameEncoder recordingEncoder = message -> {
+            PooledChatFrame frame = (PooledChatFrame) encoder.encode(message);
+            frames.add(frame);
+            return frame;
+        };
+
+        ConnectionManager connectionManager = new ConnectionManager();
+        MessageRouter messageRouter = new MessageRouter();
+        ReflectionTestUtils.setField(messageRouter, "connectionManager", connectionManager);
+        ReflectionTestUtils.setField(messageRouter, "frameEncoder", recordingEncoder);
+
+        ReactiveChatSession drained = newSession("drained", mock(WebSocketSession.class));
+        ReactiveChatSession cancelled = newSession("cancelled", mock(WebSocketSession.class));
+        ReactiveChatSession sender = newSession("sender", mock(WebSocketSession.class));
+        connectionManager.addConnection(drained.getId(), drained, "10.0.0.1");
+        connectionManager.addConnection(cancelled.getId(), cancelled, "10.0.0.2");
+        connectionManager.addConnection(sender.getId(), sender, "10.0.0.3");
+
+        messageRouter.broadcastMessage(textMessage("hello"), sender.getId());
+
+        // 路由器已释放自己的引用，剩下两个接收者队列中的副本
+        PooledChatFrame frame = frames.get(0);
+        assertEquals(2, frame.refCnt());
+
+        // 一个连接正常写出（写出后由Netty释放），另一个连接在写出前关闭
+        drained.outbound().subscribe(message -> DataBufferUtils.release(message.getPayload()));
+        subscribeAndCancel(cancelled);
+
+        assertEquals(0, frame.refCnt());
+    }
+
+    @Test
+    void overflowClosesSessionAndReleasesRejectedCopy() throws IOException {
+        WebSocketSession webSocketSession = mock(WebSocketSession.class);
+        ReactiveChatSession session = newSession("slow", webSocketSession);
+        PooledChatFrame frame = (PooledChatFrame) encoder.encode(textMessage("flood"));
+        // 已订阅但不再拉取：对应通道一直不可写的慢客户端
+        BaseSubscriber<WebSocketMessage> stalled = stalledSubscriber();
+        session.outbound().subscribe(stalled);
+
+        for (int i = 0; i < 256; i++) {
+            session.send(frame);
+        }
+        assertThrows(IOException.class, () -> session.send(frame));
+
+        // 1 个发送方引用 + 256 个排队副本，被拒绝的副本已释放
+        assertEquals(257, frame.refCnt());
+        verify(webSocketSession).close(argThat(status -> status.getCode() == CloseStatus.POLICY_VIOLATION.getCode()));
+
+        stalled.dispose();
+        frame.release();
+        assertEquals(0, frame.refCnt());
+    }
+
+    private static ReactiveChatSession newSession(String id, WebSocketSession webSocketSession) {
+        when(webSocketSession.getId()).thenReturn(id);
+        when(webSocketSession.isOpen()).thenReturn(true);
+        when(webSocketSession.close(any())).thenReturn(Mono.empty());
+        return new ReactiveChatSession(webSocketSession, "127.0.0.1");
+    }
+
+    private static void subscribeAndCancel(ReactiveChatSession session) {
+        // 模拟连接在写出前关闭
+        BaseSubscriber<WebSocketMessage> subscriber = stalledSubscriber();
+        session.outbound().subscribe(subscriber);
+        subscriber.dispose();
+    }
+
+    private static BaseSubscriber<WebSocketMessage> stalledSubscriber() {
+        return new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // 不请求任何元素
+            }
+        };
+    }
+
+    private static ChatMessage textMessage(String content) {
+        return ChatMessage.builder()
+                .messageId("msg_test")
+                .messageType(ChatMessage.MessageType.TEXT)
+                .content(content)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
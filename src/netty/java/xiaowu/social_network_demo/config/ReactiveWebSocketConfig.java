@@ -0,0 +1,44 @@
+package xiaowu.social_network_demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import xiaowu.social_network_demo.interceptor.ReactiveChatWebSocketHandler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket端点配置（WebFlux / Reactor Netty 引擎）
+ *
+ * 📖 端点与Origin允许列表与 WebSocketConfig 保持一致
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebSocketConfig implements WebFluxConfigurer {
+
+    @Bean
+    public HandlerMapping chatHandlerMapping(ReactiveChatWebSocketHandler reactiveChatWebSocketHandler) {
+        // 握手请求的Origin校验，与Servlet引擎的允许列表一致
+        CorsConfiguration corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowedOriginPatterns(List.of(WebSocketConfig.ALLOWED_ORIGIN_PATTERNS));
+
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+                Map.of(WebSocketConfig.CHAT_ENDPOINT, reactiveChatWebSocketHandler), -1);
+        mapping.setCorsConfigurations(Map.of(WebSocketConfig.CHAT_ENDPOINT, corsConfiguration));
+        return mapping;
+    }
+
+    @Override
+    public WebSocketService getWebSocketService() {
+        // 显式使用Reactor Netty升级策略，避免classpath上其他容器的策略被优先选中
+        return new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy());
+    }
+}
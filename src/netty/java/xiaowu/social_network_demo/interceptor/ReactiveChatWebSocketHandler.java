@@ -0,0 +1,63 @@
+package xiaowu.social_network_demo.interceptor;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import xiaowu.social_network_demo.service.ChatSessionService;
+import xiaowu.social_network_demo.transport.reactive.ReactiveChatSession;
+
+import java.net.InetSocketAddress;
+
+/**
+ * WebSocket消息处理器（WebFlux / Reactor Netty 引擎）
+ *
+ * 📖 与 ChatWebSocketHandler 语义一致：入站消息交给 ChatSessionService，
+ * 出站消息通过会话自己的有界队列以背压方式写出，事件循环线程从不阻塞。
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Data
+public class ReactiveChatWebSocketHandler implements WebSocketHandler {
+
+    private final ChatSessionService chatSessionService;
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveChatSession chatSession = new ReactiveChatSession(session, getRealClientIp(session.getHandshakeInfo()));
+        System.out.println("WebSocket请求 : " + chatSession.getClientIp());
+
+        chatSessionService.onOpen(chatSession);
+
+        Mono<Void> inbound = session.receive()
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                .doOnNext(message -> chatSessionService.onMessage(chatSession, message.getPayloadAsText()))
+                .then();
+
+        Mono<Void> outbound = session.send(chatSession.outbound());
+
+        // 任意一侧结束（客户端断开 / 服务端关闭）即视为连接结束
+        return Mono.zip(inbound, outbound)
+                .then()
+                .doOnError(e -> chatSessionService.onError(chatSession, e))
+                .doFinally(signal -> session.closeStatus()
+                        // 与Servlet引擎一致，以CloseStatus作为断开原因；没有收到关闭帧时退回信号名
+                        .map(CloseStatus::toString)
+                        .defaultIfEmpty(signal.toString())
+                        .subscribe(reason -> chatSessionService.onClose(chatSession, reason)));
+    }
+
+    /**
+     * 识别真实客户端IP，规则由 ClientIpResolver 与 WebSocketInterceptor 共用
+     */
+    private String getRealClientIp(HandshakeInfo handshakeInfo) {
+        InetSocketAddress remoteAddress = handshakeInfo.getRemoteAddress();
+        return ClientIpResolver.resolve(handshakeInfo.getHeaders()::getFirst,
+                remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : null);
+    }
+}
@@ -0,0 +1,38 @@
+package xiaowu.social_network_demo.transport.reactive;
+
+import io.netty.buffer.ByteBuf;
+import xiaowu.social_network_demo.transport.ChatFrame;
+
+/**
+ * Reactor Netty 引擎的出站帧：一块池化的直接内存 ByteBuf
+ *
+ * 📖 每个目标会话拿到的是 retainedDuplicate()，共享同一块内存、各自维护读索引，
+ * 写出后由 Netty 释放各自的引用；发送方通过 release() 释放最初的那一份。
+ */
+public class PooledChatFrame implements ChatFrame {
+
+    private final ByteBuf content;
+
+    public PooledChatFrame(ByteBuf content) {
+        this.content = content;
+    }
+
+    /**
+     * 为一个目标会话生成共享内存的副本（引用计数 +1）
+     */
+    public ByteBuf retainedDuplicate() {
+        return content.retainedDuplicate();
+    }
+
+    /**
+     * 当前引用计数（所有副本共享同一个计数）
+     */
+    int refCnt() {
+        return content.refCnt();
+    }
+
+    @Override
+    public void release() {
+        content.release();
+    }
+}
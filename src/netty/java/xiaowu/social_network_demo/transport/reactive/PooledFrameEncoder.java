@@ -0,0 +1,40 @@
+package xiaowu.social_network_demo.transport.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+import xiaowu.social_network_demo.transport.ChatFrame;
+import xiaowu.social_network_demo.transport.ChatFrameEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Reactor Netty 引擎的编码器
+ *
+ * 📖 Jackson 直接把JSON写进池化的直接内存，不经过中间的 String / byte[]，
+ * 广播时整块内存在所有会话之间共享。
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PooledFrameEncoder implements ChatFrameEncoder {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public ChatFrame encode(ChatMessage message) throws IOException {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            objectMapper.writeValue((OutputStream) new ByteBufOutputStream(buffer), message);
+            return new PooledChatFrame(buffer);
+        } catch (IOException e) {
+            // 序列化失败时归还缓冲区，避免池内存泄漏
+            buffer.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package xiaowu.social_network_demo.transport.reactive;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import xiaowu.social_network_demo.transport.ChatFrame;
+import xiaowu.social_network_demo.transport.ChatSession;
+
+import java.io.IOException;
+
+/**
+ * 基于 WebFlux WebSocketSession 的聊天会话
+ *
+ * 📖 每个连接一个有界的出站队列，由 Reactor Netty 按通道可写性拉取（背压），
+ * 路由线程只做非阻塞的入队。队列溢出说明客户端消费过慢，直接关闭该连接。
+ */
+public class ReactiveChatSession implements ChatSession {
+
+    // 每个连接最多积压的出站帧数
+    private static final int OUTBOUND_QUEUE_CAPACITY = 256;
+
+    private static final NettyDataBufferFactory BUFFER_FACTORY =
+            new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private final WebSocketSession session;
+    private final String clientIp;
+
+    private final Sinks.Many<ByteBuf> outbound =
+            Sinks.many().unicast().onBackpressureBuffer(Queues.<ByteBuf>get(OUTBOUND_QUEUE_CAPACITY).get());
+
+    public ReactiveChatSession(WebSocketSession session, String clientIp) {
+        this.session = session;
+        this.clientIp = clientIp;
+    }
+
+    /**
+     * 出站消息流，交给 WebSocketSession.send() 订阅
+     */
+    public Flux<WebSocketMessage> outbound() {
+        return outbound.asFlux()
+                .map(buffer -> new WebSocketMessage(WebSocketMessage.Type.TEXT, BUFFER_FACTORY.wrap(buffer)))
+                // 连接关闭时队列中尚未写出的缓冲区需要归还内存池
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease);
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void send(ChatFrame frame) throws IOException {
+        ByteBuf buffer = ((PooledChatFrame) frame).retainedDuplicate();
+        Sinks.EmitResult result;
+        // unicast sink 不允许并发 emit，入队本身是非阻塞的
+        synchronized (outbound) {
+            result = outbound.tryEmitNext(buffer);
+        }
+        if (result.isFailure()) {
+            buffer.release();
+            // 队列已满：有订阅者时返回 FAIL_OVERFLOW，订阅建立之前返回 FAIL_ZERO_SUBSCRIBER
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW || result == Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason("outbound queue overflow")).subscribe();
+            }
+            throw new IOException("出站队列不可用: " + result);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package xiaowu.social_network_demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.net.http.WebSocketHandshakeException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * /chat 端点测试：握手、欢迎消息、广播与Origin校验
+ *
+ * 📖 与引擎无关：默认在 Tomcat 上运行，-Pnetty 时由 config/application.properties 切换到 Reactor Netty
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChatEndpointTests {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void welcomesAndBroadcasts() throws Exception {
+        URI uri = chatUri();
+
+        RecordingListener alice = new RecordingListener();
+        WebSocket aliceSocket = httpClient.newWebSocketBuilder().buildAsync(uri, alice).get(10, TimeUnit.SECONDS);
+        alice.await("欢迎进入聊天室");
+
+        RecordingListener bob = new RecordingListener();
+        WebSocket bobSocket = httpClient.newWebSocketBuilder().buildAsync(uri, bob).get(10, TimeUnit.SECONDS);
+        bob.await("欢迎进入聊天室");
+        alice.await("加入了聊天室");
+
+        bobSocket.sendText("{\"type\":\"TEXT\",\"content\":\"hello chat\"}", true).join();
+        alice.await("hello chat");
+
+        aliceSocket.sendClose(WebSocket.NORMAL_CLOSURE, "bye").join();
+        bobSocket.sendClose(WebSocket.NORMAL_CLOSURE, "bye").join();
+    }
+
+    @Test
+    void acceptsAllowedOrigin() throws Exception {
+        WebSocket socket = httpClient.newWebSocketBuilder()
+                .header("Origin", "http://localhost:5173")
+                .buildAsync(chatUri(), new RecordingListener())
+                .get(10, TimeUnit.SECONDS);
+        socket.sendClose(WebSocket.NORMAL_CLOSURE, "bye").join();
+    }
+
+    @Test
+    void rejectsForeignOrigin() {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> httpClient.newWebSocketBuilder()
+                .header("Origin", "http://evil.com")
+                .buildAsync(chatUri(), new RecordingListener())
+                .get(10, TimeUnit.SECONDS));
+
+        WebSocketHandshakeException handshakeException =
+                assertInstanceOf(WebSocketHandshakeException.class, exception.getCause());
+        assertEquals(403, handshakeException.getResponse().statusCode());
+    }
+
+    private URI chatUri() {
+        return URI.create("ws://127.0.0.1:" + port + "/chat");
+    }
+
+    private static class RecordingListener implements WebSocket.Listener {
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final StringBuilder buffer = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                messages.add(buffer.toString());
+                buffer.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        void await(String expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                String message = messages.poll(100, TimeUnit.MILLISECONDS);
+                if (message != null && message.contains(expected)) {
+                    return;
+                }
+            }
+            fail("did not receive a message containing: " + expected);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package xiaowu.social_network_demo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 启动基准测试
+ *
+ * 📖 以子进程方式启动打包好的应用，测量从进程启动到 /chat 第一次握手成功的耗时，
+ * 以及此时进程的RSS（读取 /proc/&lt;pid&gt;/status，仅限Linux）：
+ * <pre>
+ * mvn verify -Pbenchmark,fast-startup           # jvm / jvm+aot / jvm+aot+extract / jvm+aot+cds
+ * mvn -Pnative native:compile                   # 先构建原生镜像，再运行上面的命令即可包含 native
+ * </pre>
+ * 缺少对应产物的变体会被跳过。可选参数：-Dbench.runs=3
+ */
+@Tag("benchmark")
+class StartupBenchmarkIT {
+
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/xiaowu/social_network_demo/SocialNetworkDemoApplication__ApplicationContextInitializer.class";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void timeToFirstHandshakeAndRss() throws Exception {
+        int runs = Integer.getInteger("bench.runs", 3);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Path jar = benchPath("bench.jar");
+        Path cdsJar = benchPath("bench.cds.jar");
+        Path cdsArchive = benchPath("bench.cds.archive");
+        Path nativeImage = benchPath("bench.native");
+
+        List<Variant> variants = new ArrayList<>();
+        if (Files.exists(jar)) {
+            variants.add(new Variant("jvm", List.of(java, "-jar", jar.toString())));
+            if (isAotProcessed(jar)) {
+                variants.add(new Variant("jvm+aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString())));
+            }
+        }
+        // 解压后的jar分别测量有无CDS，使"解压"与"CDS"两项改动各自独立可比
+        if (Files.exists(cdsJar) && isAotProcessed(jar)) {
+            variants.add(new Variant("jvm+aot+extract", List.of(java, "-Dspring.aot.enabled=true",
+                    "-jar", cdsJar.toString())));
+        }
+        if (Files.exists(cdsJar) && Files.exists(cdsArchive)) {
+            variants.add(new Variant("jvm+aot+cds", List.of(java, "-XX:SharedArchiveFile=" + cdsArchive,
+                    "-Dspring.aot.enabled=true", "-jar", cdsJar.toString())));
+        }
+        if (Files.isExecutable(nativeImage)) {
+            variants.add(new Variant("native", List.of(nativeImage.toString())));
+        }
+        assertFalse(variants.isEmpty(), "no packaged artifact found, run mvn package first");
+
+        for (Variant variant : variants) {
+            long totalMillis = 0;
+            long totalRssKb = 0;
+            for (int run = 0; run < runs; run++) {
+                long[] result = measure(variant);
+                totalMillis += result[0];
+                totalRssKb += result[1];
+            }
+            System.out.printf("📊 启动基准 - %-16s 首次握手: %5d ms, RSS: %6.1f MB (%d 次平均)%n",
+                    variant.name(), totalMillis / runs, totalRssKb / runs / 1024.0, runs);
+        }
+    }
+
+    /**
+     * 启动一次并返回 {首次握手耗时ms, RSS KB}
+     */
+    private long[] measure(Variant variant) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command());
+        command.add("--server.address=127.0.0.1");
+        command.add("--server.port=" + port);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "startup-" + variant.name() + ".log").toFile());
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            URI uri = URI.create("ws://127.0.0.1:" + port + "/chat");
+            long deadline = start + TimeUnit.SECONDS.toNanos(60);
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(variant.name() + " did not accept a handshake within 60s");
+                }
+                try {
+                    WebSocket socket = httpClient.newWebSocketBuilder()
+                            .buildAsync(uri, new WebSocket.Listener() { })
+                            .get(1, TimeUnit.SECONDS);
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    long rssKb = readRssKb(process.pid());
+                    socket.abort();
+                    return new long[]{elapsedMillis, rssKb};
+                } catch (Exception e) {
+                    // 服务尚未就绪，稍后重试
+                    Thread.sleep(5);
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * 产物路径由 benchmark profile 的 failsafe 配置传入；未通过该profile运行时跳过
+     */
+    private static Path benchPath(String key) {
+        String value = System.getProperty(key);
+        assumeTrue(value != null, "system property " + key + " is not set, run with: mvn verify -Pbenchmark,fast-startup");
+        return Path.of(value);
+    }
+
+    private static boolean isAotProcessed(Path jar) throws IOException {
+        if (!Files.exists(jar)) {
+            return false;
+        }
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static long readRssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D+", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Variant(String name, List<String> command) {
+    }
+}
@@ -0,0 +1,152 @@
+package xiaowu.social_network_demo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 传输引擎基准测试
+ *
+ * 📖 对比 Tomcat 与 Reactor Netty 两种引擎的连接内存开销和广播延迟：
+ * <pre>
+ * mvn test -Pbenchmark            # Tomcat
+ * mvn test -Pbenchmark,netty      # Reactor Netty
+ * </pre>
+ * 可选参数：-Dbench.connections=1000 -Dbench.broadcasts=200
+ *
+ * 客户端与服务端运行在同一个JVM中，堆占用包含客户端自身的开销；
+ * 两种引擎使用同一套客户端，因此结果之间的差值可归因于服务端。
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TransportBenchmarkTests {
+
+    private static final String BENCH_PREFIX = "bench-";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.main.web-application-type}")
+    private String engine;
+
+    @Test
+    void connectionsPerHeapAndBroadcastLatency() throws Exception {
+        int connections = Integer.getInteger("bench.connections", 1000);
+        int broadcasts = Integer.getInteger("bench.broadcasts", 200);
+        int warmup = Math.max(broadcasts / 10, 1);
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        URI uri = URI.create("ws://127.0.0.1:" + port + "/chat");
+
+        // ======================== 连接内存开销 ========================
+        long heapBefore = usedHeapAfterGc();
+
+        List<WebSocket> sockets = new ArrayList<>(connections);
+        List<BenchListener> listeners = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            BenchListener listener = new BenchListener();
+            sockets.add(httpClient.newWebSocketBuilder().buildAsync(uri, listener).get(10, TimeUnit.SECONDS));
+            listeners.add(listener);
+        }
+        // 等待所有加入通知扇出完成
+        Thread.sleep(2000);
+
+        long heapAfter = usedHeapAfterGc();
+        double bytesPerConnection = (double) (heapAfter - heapBefore) / connections;
+        double connectionsPerGb = (1024.0 * 1024 * 1024) / bytesPerConnection;
+
+        // ======================== 广播延迟 ========================
+        // 第一个连接作为发送者，其余连接都是接收者；发送者自身被广播排除
+        WebSocket sender = sockets.get(0);
+        List<BenchListener> receivers = listeners.subList(1, connections);
+        long[] latencies = new long[broadcasts];
+
+        for (int seq = 0; seq < warmup + broadcasts; seq++) {
+            Round round = new Round(receivers.size());
+            Round.current = round;
+            sender.sendText("{\"type\":\"TEXT\",\"content\":\"" + BENCH_PREFIX + seq + "\"}", true).join();
+            assertTrue(round.latch.await(30, TimeUnit.SECONDS), "broadcast " + seq + " not delivered");
+            if (seq >= warmup) {
+                latencies[seq - warmup] = round.lastArrival.get() - round.sentAt;
+            }
+        }
+        Arrays.sort(latencies);
+
+        System.out.println("📊 传输引擎基准 - Engine: " + engine + ", Connections: " + connections);
+        System.out.printf("📊 堆占用: %.1f KB/连接, 约 %.0f 连接/GB 堆%n",
+                bytesPerConnection / 1024, connectionsPerGb);
+        System.out.printf("📊 广播延迟(扇出至 %d 个接收者): p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                receivers.size(),
+                latencies[broadcasts / 2] / 1e6,
+                latencies[(int) (broadcasts * 0.99)] / 1e6,
+                latencies[broadcasts - 1] / 1e6);
+
+        for (WebSocket socket : sockets) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "bye");
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * 一次广播：记录发送时间和最后一个接收者收到的时间
+     */
+    private static class Round {
+        static volatile Round current;
+
+        final long sentAt = System.nanoTime();
+        final AtomicLong lastArrival = new AtomicLong();
+        final CountDownLatch latch;
+
+        Round(int receivers) {
+            this.latch = new CountDownLatch(receivers);
+        }
+
+        void arrived() {
+            lastArrival.accumulateAndGet(System.nanoTime(), Math::max);
+            latch.countDown();
+        }
+    }
+
+    private static class BenchListener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+        private Round lastRound;
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                Round round = Round.current;
+                if (round != null && round != lastRound && buffer.indexOf(BENCH_PREFIX) >= 0) {
+                    lastRound = round;
+                    round.arrived();
+                }
+                buffer.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package xiaowu.social_network_demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import xiaowu.social_network_demo.mdoel.ChatMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatRuntimeHintsTests {
+
+    @Test
+    void registersJacksonBindingHints() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new ChatRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ChatMessage.class.getMethod("getContent"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ChatMessage.MessageType.class)).accepts(hints);
+    }
+}
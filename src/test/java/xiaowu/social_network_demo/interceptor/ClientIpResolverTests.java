@@ -0,0 +1,28 @@
+package xiaowu.social_network_demo.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpResolverTests {
+
+    @Test
+    void prefersFirstForwardedForAddress() {
+        Map<String, String> headers = Map.of("X-Forwarded-For", "203.0.113.7, 10.0.0.1", "X-Real-IP", "198.51.100.2");
+        assertEquals("203.0.113.7", ClientIpResolver.resolve(headers::get, "127.0.0.1"));
+    }
+
+    @Test
+    void fallsBackToRealIpWhenForwardedForIsUnknown() {
+        Map<String, String> headers = Map.of("X-Forwarded-For", "unknown", "X-Real-IP", "198.51.100.2");
+        assertEquals("198.51.100.2", ClientIpResolver.resolve(headers::get, "127.0.0.1"));
+    }
+
+    @Test
+    void fallsBackToRemoteAddressWithoutProxyHeaders() {
+        Map<String, String> headers = Map.of("X-Real-IP", "UNKNOWN");
+        assertEquals("127.0.0.1", ClientIpResolver.resolve(headers::get, "127.0.0.1"));
+    }
+}